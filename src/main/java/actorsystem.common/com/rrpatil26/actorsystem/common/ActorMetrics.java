@@ -0,0 +1,69 @@
+package com.rrpatil26.actorsystem.common;
+
+/**
+ * Point in time snapshot of message counters of an Actor.
+ */
+public final class ActorMetrics {
+
+  private final String address;
+  private final String group;
+  private final long messagesAccepted;
+  private final long messagesRateLimited;
+  private final long messagesProcessed;
+  private final int mailboxAllocatedCapacity;
+
+  public ActorMetrics(String address, String group, long messagesAccepted,
+      long messagesRateLimited, long messagesProcessed, int mailboxAllocatedCapacity) {
+    this.address = address;
+    this.group = group;
+    this.messagesAccepted = messagesAccepted;
+    this.messagesRateLimited = messagesRateLimited;
+    this.messagesProcessed = messagesProcessed;
+    this.mailboxAllocatedCapacity = mailboxAllocatedCapacity;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  /**
+   * @return Rate limit group of the Actor or null if it does not belong to one
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  public long getMessagesAccepted() {
+    return messagesAccepted;
+  }
+
+  /**
+   * @return Messages rejected because the Actor or its group was over its rate limit
+   */
+  public long getMessagesRateLimited() {
+    return messagesRateLimited;
+  }
+
+  public long getMessagesProcessed() {
+    return messagesProcessed;
+  }
+
+  /**
+   * @return Number of message slots the Actor mailbox currently holds memory for
+   */
+  public int getMailboxAllocatedCapacity() {
+    return mailboxAllocatedCapacity;
+  }
+
+  @Override
+  public String toString() {
+    return "ActorMetrics{" +
+        "address='" + address + '\'' +
+        ", group='" + group + '\'' +
+        ", messagesAccepted=" + messagesAccepted +
+        ", messagesRateLimited=" + messagesRateLimited +
+        ", messagesProcessed=" + messagesProcessed +
+        ", mailboxAllocatedCapacity=" + mailboxAllocatedCapacity +
+        '}';
+  }
+}
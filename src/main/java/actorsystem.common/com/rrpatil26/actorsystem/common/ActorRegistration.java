@@ -0,0 +1,113 @@
+package com.rrpatil26.actorsystem.common;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable set of options collected by {@link ActorRegistrationBuilder} to register an Actor.
+ */
+public final class ActorRegistration {
+
+  public enum MailboxType {
+    /**
+     * Bounded first in first out mailbox.
+     */
+    FIFO,
+    /**
+     * Bounded first in first out mailbox that allocates memory as it fills up, keeps a few spare
+     * segments while busy and gives them all back once it drains.
+     */
+    ELASTIC,
+    /**
+     * Keeps only the latest pending message per key, in order of first arrival of the key.
+     */
+    CONFLATING,
+    /**
+     * Small control lane served first, then bounded priority levels.
+     */
+    PRIORITY
+  }
+
+  private final int mailboxSize;
+  private final Consumer<Message> messageHandler;
+  private final MailboxType mailboxType;
+  private final Function<Object, ?> conflationKey;
+  private final Supplier<Consumer<Message>> handlerFactory;
+  private final SupervisionStrategy supervisionStrategy;
+  private final RateLimit rateLimit;
+  private final String group;
+  private final RateLimit groupRateLimit;
+  private final int priorityLevels;
+
+  ActorRegistration(int mailboxSize, Consumer<Message> messageHandler, MailboxType mailboxType,
+      Function<Object, ?> conflationKey, Supplier<Consumer<Message>> handlerFactory,
+      SupervisionStrategy supervisionStrategy, RateLimit rateLimit, String group,
+      RateLimit groupRateLimit, int priorityLevels) {
+    this.mailboxSize = mailboxSize;
+    this.messageHandler = messageHandler;
+    this.mailboxType = mailboxType;
+    this.conflationKey = conflationKey;
+    this.handlerFactory = handlerFactory;
+    this.supervisionStrategy = supervisionStrategy;
+    this.rateLimit = rateLimit;
+    this.group = group;
+    this.groupRateLimit = groupRateLimit;
+    this.priorityLevels = priorityLevels;
+  }
+
+  public int getMailboxSize() {
+    return mailboxSize;
+  }
+
+  public Consumer<Message> getMessageHandler() {
+    return messageHandler;
+  }
+
+  public MailboxType getMailboxType() {
+    return mailboxType;
+  }
+
+  /**
+   * @return Key extractor over the message payload, set only for {@link MailboxType#CONFLATING}
+   */
+  public Function<Object, ?> getConflationKey() {
+    return conflationKey;
+  }
+
+  /**
+   * @return Factory for fresh handlers on restart, or null if the handler was given directly
+   */
+  public Supplier<Consumer<Message>> getHandlerFactory() {
+    return handlerFactory;
+  }
+
+  public SupervisionStrategy getSupervisionStrategy() {
+    return supervisionStrategy;
+  }
+
+  /**
+   * @return Rate limit of this Actor or null if unlimited
+   */
+  public RateLimit getRateLimit() {
+    return rateLimit;
+  }
+
+  /**
+   * @return Rate limit group of this Actor or null if it does not belong to one
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  public RateLimit getGroupRateLimit() {
+    return groupRateLimit;
+  }
+
+  /**
+   * @return Number of priority levels, set only for {@link MailboxType#PRIORITY}
+   */
+  public int getPriorityLevels() {
+    return priorityLevels;
+  }
+}
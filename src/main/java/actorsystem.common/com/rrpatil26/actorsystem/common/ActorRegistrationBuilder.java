@@ -2,6 +2,8 @@ package com.rrpatil26.actorsystem.common;
 
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOverloadedException;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public interface ActorRegistrationBuilder {
 
@@ -9,5 +11,52 @@ public interface ActorRegistrationBuilder {
 
   ActorRegistrationBuilder withMessageHandler(Consumer<Message> messageHandler);
 
+  /**
+   * Creates the message handler from a factory, so that a fresh handler can replace a failed one
+   * on {@link SupervisionStrategy.Directive#RESTART}.
+   */
+  ActorRegistrationBuilder withMessageHandlerFactory(Supplier<Consumer<Message>> handlerFactory);
+
+  /**
+   * Sets what to do when the message handler throws. Defaults to
+   * {@link SupervisionStrategy#resume()}.
+   */
+  ActorRegistrationBuilder withSupervisionStrategy(SupervisionStrategy supervisionStrategy);
+
+  /**
+   * Uses an elastic FIFO mailbox: memory grows in small segments up to mailbox size as messages
+   * queue up, instead of being allocated for the full size upfront.
+   */
+  ActorRegistrationBuilder withElasticMailbox();
+
+  /**
+   * Uses a conflating mailbox: a pending message is replaced by a newer one with the same key,
+   * so mailbox size bounds the number of distinct pending keys.
+   *
+   * @param keyExtractor Maps message payload to its conflation key
+   */
+  ActorRegistrationBuilder withConflatingMailbox(Function<Object, ?> keyExtractor);
+
+  /**
+   * Uses a priority mailbox: control messages have a small lane of their own and are served
+   * first, other messages are served from the highest of the given number of priority levels.
+   * Mailbox size bounds the non control messages across all levels.
+   *
+   * @param priorityLevels Number of priority levels, message priorities above are capped
+   */
+  ActorRegistrationBuilder withPriorityMailbox(int priorityLevels);
+
+  /**
+   * Limits how fast messages are accepted for this Actor. Messages over the limit are rejected
+   * with {@link ActorSystemExceptions.ActorRateLimitedException}.
+   */
+  ActorRegistrationBuilder withRateLimit(RateLimit rateLimit);
+
+  /**
+   * Adds this Actor to a group of Actors that share one rate limit. The first registration of a
+   * group sets the limit, later registrations join the existing one.
+   */
+  ActorRegistrationBuilder withGroupRateLimit(String group, RateLimit groupRateLimit);
+
   String register() throws IllegalArgumentException, SystemOverloadedException;
-}
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package com.rrpatil26.actorsystem.common;
 
+import com.rrpatil26.actorsystem.common.ActorRegistration.MailboxType;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.NoSuchActorException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOfflineException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOverloadedException;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public interface ActorSystem {
 
@@ -21,6 +24,15 @@ public interface ActorSystem {
       Consumer<Message> messageConsumer)
       throws SystemOverloadedException;
 
+  /**
+   * Registers new Actor into the system with options collected by {@link ActorRegistrationBuilder}.
+   *
+   * @param registration Actor options such as mailbox size, mailbox type and message handler
+   * @return String representation of UUID as a unique address assigned to this new Actor
+   * @throws SystemOverloadedException If System is already loaded and have no capacity left
+   */
+  String registerActor(ActorRegistration registration) throws SystemOverloadedException;
+
   /**
    * Sends a message to an Actor in the system identified by given unique address.
    *
@@ -34,6 +46,15 @@ public interface ActorSystem {
   boolean sendMessage(String address, Message message)
       throws NoSuchActorException, ActorMailboxFullException, SystemOfflineException;
 
+  /**
+   * Reports message counters of an Actor in the system identified by given unique address.
+   *
+   * @param address Actors Unique address
+   * @return Snapshot of the Actors metrics
+   * @throws NoSuchActorException when no such actor with that address
+   */
+  ActorMetrics getMetrics(String address) throws NoSuchActorException;
+
   /**
    * Shuts down Actor System such that stops accepting new messages/actors and only completes
    * previously scheduled messages for existing actors.
@@ -58,6 +79,14 @@ class ActorRegistrationBuilderImpl implements ActorRegistrationBuilder {
   private ActorSystem actorSystem;
   private int mailboxSize;
   private Consumer<Message> messageHandler;
+  private MailboxType mailboxType = MailboxType.FIFO;
+  private Function<Object, ?> conflationKey;
+  private Supplier<Consumer<Message>> handlerFactory;
+  private SupervisionStrategy supervisionStrategy = SupervisionStrategy.resume();
+  private RateLimit rateLimit;
+  private String group;
+  private RateLimit groupRateLimit;
+  private int priorityLevels;
 
   ActorRegistrationBuilderImpl(ActorSystem actorSystem) {
     this.actorSystem = actorSystem;
@@ -76,12 +105,87 @@ class ActorRegistrationBuilderImpl implements ActorRegistrationBuilder {
     return this;
   }
 
+  @Override
+  public ActorRegistrationBuilder withMessageHandlerFactory(
+      Supplier<Consumer<Message>> handlerFactory) {
+    this.handlerFactory = handlerFactory;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withSupervisionStrategy(
+      SupervisionStrategy supervisionStrategy) {
+    this.supervisionStrategy = supervisionStrategy;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withElasticMailbox() {
+    this.mailboxType = MailboxType.ELASTIC;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withConflatingMailbox(Function<Object, ?> keyExtractor) {
+    this.mailboxType = MailboxType.CONFLATING;
+    this.conflationKey = keyExtractor;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withPriorityMailbox(int priorityLevels) {
+    this.mailboxType = MailboxType.PRIORITY;
+    this.priorityLevels = priorityLevels;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withRateLimit(RateLimit rateLimit) {
+    this.rateLimit = rateLimit;
+    return this;
+  }
+
+  @Override
+  public ActorRegistrationBuilder withGroupRateLimit(String group, RateLimit groupRateLimit) {
+    this.group = group;
+    this.groupRateLimit = groupRateLimit;
+    return this;
+  }
+
   @Override
   public String register() throws IllegalArgumentException, SystemOverloadedException {
-    if (this.mailboxSize < 0 || this.messageHandler == null) {
+    // Each registration gets its own handler from the factory, builder state stays untouched
+    Consumer<Message> handler = this.messageHandler;
+    if (handler == null && this.handlerFactory != null) {
+      handler = this.handlerFactory.get();
+    }
+    if (this.mailboxSize < 0 || handler == null) {
       throw new IllegalArgumentException(
           "Builder error: please set correct mailbox size and handler before registration");
     }
-    return actorSystem.registerActor(this.mailboxSize, this.messageHandler);
+    if (this.mailboxType == MailboxType.CONFLATING && this.conflationKey == null) {
+      throw new IllegalArgumentException(
+          "Builder error: conflating mailbox needs a key extractor");
+    }
+    if (this.mailboxType == MailboxType.PRIORITY && this.priorityLevels <= 0) {
+      throw new IllegalArgumentException(
+          "Builder error: priority mailbox needs at least one priority level");
+    }
+    if (this.supervisionStrategy == null) {
+      throw new IllegalArgumentException("Builder error: please set a supervision strategy");
+    }
+    if (this.supervisionStrategy.getDirective() == SupervisionStrategy.Directive.RESTART
+        && this.handlerFactory == null) {
+      throw new IllegalArgumentException(
+          "Builder error: restart supervision needs a message handler factory");
+    }
+    if ((this.group == null) != (this.groupRateLimit == null)) {
+      throw new IllegalArgumentException(
+          "Builder error: please set both group and its rate limit");
+    }
+    return actorSystem.registerActor(
+        new ActorRegistration(this.mailboxSize, handler, this.mailboxType,
+            this.conflationKey, this.handlerFactory, this.supervisionStrategy, this.rateLimit,
+            this.group, this.groupRateLimit, this.priorityLevels));
   }
 }
\ No newline at end of file
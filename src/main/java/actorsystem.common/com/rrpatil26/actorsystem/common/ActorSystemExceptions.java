@@ -26,6 +26,13 @@ public final class ActorSystemExceptions {
     }
   }
 
+  public static class ActorRateLimitedException extends ActorMailboxFullException {
+
+    public ActorRateLimitedException(String message) {
+      super(message);
+    }
+  }
+
   public static class SystemOfflineException extends IllegalStateException {
 
     public SystemOfflineException(String message) {
@@ -2,16 +2,70 @@ package com.rrpatil26.actorsystem.common;
 
 public class Message<T> {
 
+  public static final int DEFAULT_PRIORITY = 0;
+
   private final T payload;
+  private final int priority;
+  private final boolean control;
+  private final TraceContext traceContext;
 
   public Message(T payload) {
+    this(payload, DEFAULT_PRIORITY);
+  }
+
+  /**
+   * @param payload The message payload
+   * @param priority Priority level, higher is served first by a priority mailbox. Other mailboxes
+   * ignore it.
+   */
+  public Message(T payload, int priority) {
+    this(payload, priority, false, null);
+  }
+
+  private Message(T payload, int priority, boolean control, TraceContext traceContext) {
     this.payload = payload;
+    this.priority = priority;
+    this.control = control;
+    this.traceContext = traceContext;
+  }
+
+  /**
+   * Creates a control message such as shutdown, health check or cancellation. A priority mailbox
+   * keeps it in a small separate lane, admitted even when other messages fill the mailbox or use
+   * up the rate limits, and serves it before any other message. Other mailboxes treat it as any
+   * other message, rate limits included.
+   */
+  public static <T> Message<T> control(T payload) {
+    return new Message<>(payload, DEFAULT_PRIORITY, true, null);
+  }
+
+  /**
+   * @param traceContext Trace to follow this message with, null to not trace it
+   * @return Copy of this message carrying given trace context
+   */
+  public Message<T> withTraceContext(TraceContext traceContext) {
+    return new Message<>(payload, priority, control, traceContext);
   }
 
   public T getPayload() {
     return payload;
   }
 
+  public int getPriority() {
+    return priority;
+  }
+
+  public boolean isControl() {
+    return control;
+  }
+
+  /**
+   * @return Trace context of this message or null if it is not traced
+   */
+  public TraceContext getTraceContext() {
+    return traceContext;
+  }
+
   @Override
   public String toString() {
     return "Message{" +
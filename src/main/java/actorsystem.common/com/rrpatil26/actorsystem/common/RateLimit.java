@@ -0,0 +1,40 @@
+package com.rrpatil26.actorsystem.common;
+
+/**
+ * Admission rate for messages sent to an Actor or a group of Actors: a steady number of messages
+ * per second plus a burst that can be accepted at once.
+ */
+public final class RateLimit {
+
+  private final long permitsPerSecond;
+  private final long burst;
+
+  private RateLimit(long permitsPerSecond, long burst) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+  }
+
+  public static RateLimit perSecond(long permitsPerSecond, long burst) {
+    if (permitsPerSecond <= 0 || permitsPerSecond > 1_000_000_000L || burst <= 0) {
+      throw new IllegalArgumentException(
+          "Rate limit error: please set a positive rate up to one per nanosecond and burst");
+    }
+    return new RateLimit(permitsPerSecond, burst);
+  }
+
+  public long getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  public long getBurst() {
+    return burst;
+  }
+
+  @Override
+  public String toString() {
+    return "RateLimit{" +
+        "permitsPerSecond=" + permitsPerSecond +
+        ", burst=" + burst +
+        '}';
+  }
+}
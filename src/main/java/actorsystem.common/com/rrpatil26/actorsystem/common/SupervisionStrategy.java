@@ -0,0 +1,108 @@
+package com.rrpatil26.actorsystem.common;
+
+import java.time.Duration;
+
+/**
+ * Decides what happens to an Actor when its message handler throws a {@link RuntimeException}.
+ * The Actor always keeps its mailbox and its dispatcher thread, only the handler is affected.
+ */
+public final class SupervisionStrategy {
+
+  public enum Directive {
+    /**
+     * Drop the failed message and keep going with the same handler.
+     */
+    RESUME,
+    /**
+     * Drop the failed message and replace the handler with a fresh one from its factory.
+     */
+    RESTART,
+    /**
+     * Stop the Actor and remove it from the system. Pending messages are dropped.
+     */
+    STOP
+  }
+
+  private static final SupervisionStrategy RESUME_STRATEGY = new SupervisionStrategy(
+      Directive.RESUME, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+  private static final SupervisionStrategy STOP_STRATEGY = new SupervisionStrategy(
+      Directive.STOP, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+  private final Directive directive;
+  private final int maxRestarts;
+  private final Duration within;
+  private final Duration minBackoff;
+  private final Duration maxBackoff;
+
+  private SupervisionStrategy(Directive directive, int maxRestarts, Duration within,
+      Duration minBackoff, Duration maxBackoff) {
+    this.directive = directive;
+    this.maxRestarts = maxRestarts;
+    this.within = within;
+    this.minBackoff = minBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  public static SupervisionStrategy resume() {
+    return RESUME_STRATEGY;
+  }
+
+  public static SupervisionStrategy stop() {
+    return STOP_STRATEGY;
+  }
+
+  /**
+   * Restarts the handler immediately, stopping the Actor once it needs more than maxRestarts
+   * restarts within the given time window.
+   */
+  public static SupervisionStrategy restart(int maxRestarts, Duration within) {
+    return restartWithBackoff(maxRestarts, within, Duration.ZERO, Duration.ZERO);
+  }
+
+  /**
+   * Restarts the handler after a backoff that starts at minBackoff and doubles for every restart
+   * within the time window, capped at maxBackoff. Stops the Actor once it needs more than
+   * maxRestarts restarts within the window.
+   */
+  public static SupervisionStrategy restartWithBackoff(int maxRestarts, Duration within,
+      Duration minBackoff, Duration maxBackoff) {
+    if (maxRestarts < 0 || within.isNegative() || minBackoff.isNegative()
+        || maxBackoff.compareTo(minBackoff) < 0) {
+      throw new IllegalArgumentException(
+          "Supervision error: please set non negative restart limits and backoff range");
+    }
+    return new SupervisionStrategy(Directive.RESTART, maxRestarts, within, minBackoff,
+        maxBackoff);
+  }
+
+  public Directive getDirective() {
+    return directive;
+  }
+
+  public int getMaxRestarts() {
+    return maxRestarts;
+  }
+
+  public Duration getWithin() {
+    return within;
+  }
+
+  public Duration getMinBackoff() {
+    return minBackoff;
+  }
+
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  @Override
+  public String toString() {
+    return "SupervisionStrategy{" +
+        "directive=" + directive +
+        ", maxRestarts=" + maxRestarts +
+        ", within=" + within +
+        ", minBackoff=" + minBackoff +
+        ", maxBackoff=" + maxBackoff +
+        '}';
+  }
+}
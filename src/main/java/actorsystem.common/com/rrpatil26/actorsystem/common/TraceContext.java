@@ -0,0 +1,53 @@
+package com.rrpatil26.actorsystem.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identifies a traced chain of messages across Actors. Set on a message entering the system, it is
+ * carried over to every message sent by the handlers processing it, one hop further each time.
+ */
+public final class TraceContext {
+
+  private final long traceId;
+  private final int hop;
+
+  private TraceContext(long traceId, int hop) {
+    this.traceId = traceId;
+    this.hop = hop;
+  }
+
+  public static TraceContext newTrace() {
+    return new TraceContext(ThreadLocalRandom.current().nextLong(), 0);
+  }
+
+  /**
+   * @param probability Chance between 0 and 1 to start a new trace
+   * @return New trace context, or null if this message is not sampled
+   */
+  public static TraceContext sample(double probability) {
+    return ThreadLocalRandom.current().nextDouble() < probability ? newTrace() : null;
+  }
+
+  public TraceContext nextHop() {
+    return new TraceContext(traceId, hop + 1);
+  }
+
+  public long getTraceId() {
+    return traceId;
+  }
+
+  /**
+   * @return Number of Actors the trace went through before this message, 0 for the first
+   */
+  public int getHop() {
+    return hop;
+  }
+
+  @Override
+  public String toString() {
+    return "TraceContext{" +
+        "traceId=" + Long.toHexString(traceId) +
+        ", hop=" + hop +
+        '}';
+  }
+}
@@ -1,9 +1,18 @@
 package com.rrpatil26.actorsystem.impl;
 
+import com.rrpatil26.actorsystem.common.ActorMetrics;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
+import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorRateLimitedException;
+import com.rrpatil26.actorsystem.common.ActorSystemExceptions.NoSuchActorException;
 import com.rrpatil26.actorsystem.common.Message;
+import com.rrpatil26.actorsystem.common.SupervisionStrategy;
+import com.rrpatil26.actorsystem.common.SupervisionStrategy.Directive;
+import com.rrpatil26.actorsystem.common.TraceContext;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 interface Actor extends Runnable {
@@ -14,22 +23,47 @@ interface Actor extends Runnable {
 
   boolean hasAnyPendingTask();
 
+  ActorMetrics getMetrics();
+
   void shutdown();
 }
 
 final class ActorImpl implements Actor {
 
   private static final Logger logger = Logger.getLogger(ActorImpl.class.getCanonicalName());
+  // Trace context of the message being handled on this thread, if traced
+  private static final ThreadLocal<TraceContext> currentTraceContext = new ThreadLocal<>();
   private final String address;
-  private final Mailbox<Message> mailbox;
-  private final Consumer<Message> handler;
+  private final Mailbox<Envelope> mailbox;
+  private final Supplier<Consumer<Message>> handlerFactory;
+  private final Supervisor supervisor;
+  private final Consumer<Actor> onStopped;
+  private final AdmissionControl admissionControl;
+  private final LongAdder messagesAccepted = new LongAdder();
+  private final LongAdder messagesRateLimited = new LongAdder();
+  private final LongAdder messagesProcessed = new LongAdder();
   private final AtomicReference<Thread> runnerThread = new AtomicReference<>();
   private final ThreadLocal<Boolean> isBusy = ThreadLocal.withInitial(() -> false);
+  // Only replaced by the runner thread on restart
+  private Consumer<Message> handler;
+  private volatile boolean isStopped;
+
+  ActorImpl(String address, Consumer<Message> handler, Mailbox<Envelope> mailbox) {
+    this(address, handler, mailbox, null, SupervisionStrategy.resume(), AdmissionControl.UNLIMITED,
+        actor -> {
+        });
+  }
 
-  ActorImpl(String address, Consumer<Message> handler, Mailbox<Message> mailbox) {
+  ActorImpl(String address, Consumer<Message> handler, Mailbox<Envelope> mailbox,
+      Supplier<Consumer<Message>> handlerFactory, SupervisionStrategy supervisionStrategy,
+      AdmissionControl admissionControl, Consumer<Actor> onStopped) {
     this.address = address;
     this.handler = handler;
     this.mailbox = mailbox;
+    this.handlerFactory = handlerFactory;
+    this.supervisor = new Supervisor(supervisionStrategy);
+    this.admissionControl = admissionControl;
+    this.onStopped = onStopped;
     logger.fine(String.format("Actor created: %s", address));
   }
 
@@ -41,33 +75,125 @@ final class ActorImpl implements Actor {
   @Override
   public boolean addNewMessage(Message message)
       throws ActorMailboxFullException {
+    if (isStopped) {
+      throw new NoSuchActorException("Actor has been stopped: " + address);
+    }
+    // Control lane is bounded by its own capacity, so it stays open under overload
+    boolean admitted = message.isControl() && mailbox.hasControlLane();
+    if (!admitted && !admissionControl.tryAdmit()) {
+      messagesRateLimited.increment();
+      throw new ActorRateLimitedException("Actor rate limit exceeded. Retry later: " + address);
+    }
+    boolean delivered = false;
     try {
-      if (!mailbox.addToMailbox(message)) {
+      if (!mailbox.addToMailbox(new Envelope(message))) {
         logger.warning(
             String.format("Actor %s received messages more that its capacity %s", address,
                 mailbox.getMaxCapacity()));
         throw new ActorMailboxFullException(
             "Actor mailbox full. Retry later: " + mailbox.getMaxCapacity());
       }
+      delivered = true;
     } catch (InterruptedException e) {
       throw new ActorMailboxFullException(
           "Something went wrong in delivering message to: " + address);
+    } finally {
+      if (!delivered && !admitted) {
+        // Mailbox did not take it, so it should not count against the rate limits
+        admissionControl.release();
+      }
     }
+    messagesAccepted.increment();
     return true;
   }
 
+  @Override
+  public ActorMetrics getMetrics() {
+    return new ActorMetrics(address, admissionControl.getGroup(), messagesAccepted.sum(),
+        messagesRateLimited.sum(), messagesProcessed.sum(), mailbox.getAllocatedCapacity());
+  }
+
   @Override
   public synchronized boolean hasAnyPendingTask() {
     return mailbox.hasUnread() || isBusy.get();
   }
 
+  /**
+   * @return Trace context of the message handled by the calling thread, null if not traced
+   */
+  static TraceContext currentTraceContext() {
+    return currentTraceContext.get();
+  }
+
   private void processMessage() throws InterruptedException {
     // Should block until next message
-    Message message = mailbox.getNextMessage();
-    if (message != null) {
+    Envelope envelope = mailbox.getNextMessage();
+    if (envelope != null) {
+      Message message = envelope.getMessage();
+      TraceContext traceContext = message.getTraceContext();
+      long queueTime = envelope.getQueueTime();
+      MessageDequeuedEvent.commit(address, queueTime, traceContext);
+      MessageProcessedEvent event = new MessageProcessedEvent();
+      RuntimeException failure = null;
       isBusy.set(true);
-      handler.accept(message);
-      isBusy.set(false);
+      if (traceContext != null) {
+        currentTraceContext.set(traceContext);
+      }
+      event.begin();
+      try {
+        handler.accept(message);
+      } catch (RuntimeException e) {
+        failure = e;
+      } finally {
+        event.end();
+        isBusy.set(false);
+        if (traceContext != null) {
+          currentTraceContext.remove();
+        }
+        messagesProcessed.increment();
+      }
+      if (event.shouldCommit()) {
+        event.set(address, queueTime, failure != null, traceContext);
+        event.commit();
+      }
+      if (failure != null) {
+        supervise(message, failure);
+      }
+    }
+  }
+
+  private void supervise(Message message, RuntimeException failure) {
+    Directive directive = supervisor.onFailure(System.nanoTime());
+    logger.warning(String.format("Actor %s failed on %s. Applying %s. %s", address, message,
+        directive, failure));
+    switch (directive) {
+      case RESTART:
+        long backoff = supervisor.backoffNanos();
+        if (backoff > 0) {
+          try {
+            TimeUnit.NANOSECONDS.sleep(backoff);
+          } catch (InterruptedException e) {
+            // Keep the interrupt for the run loop, it still needs a handler to drain the mailbox
+            Thread.currentThread().interrupt();
+          }
+        }
+        // Same mailbox and same runner thread, only the handler is replaced
+        try {
+          handler = handlerFactory.get();
+        } catch (RuntimeException e) {
+          // Keeping the failed handler would leave the Actor taking messages it can't handle
+          logger.warning(
+              String.format("Actor %s failed to restart its handler. Applying %s. %s", address,
+                  Directive.STOP, e));
+          isStopped = true;
+        }
+        break;
+      case STOP:
+        isStopped = true;
+        break;
+      case RESUME:
+      default:
+        break;
     }
   }
 
@@ -88,8 +214,8 @@ final class ActorImpl implements Actor {
     Thread.currentThread().setName(address);
     runnerThread.set(Thread.currentThread());
     try {
-      //Keep processing one message at a time until Interrupted
-      while (!runnerThread.get().isInterrupted()) {
+      //Keep processing one message at a time until Interrupted or stopped by supervision
+      while (!runnerThread.get().isInterrupted() && !isStopped) {
         processMessage();
       }
     } catch (InterruptedException e) {
@@ -97,7 +223,7 @@ final class ActorImpl implements Actor {
           String.format("Actor %s received an interrupt. Housekeeping now. %s", address, e));
     } finally {
       // If it got interrupted, process all remaining tasks and then stop the thread
-      while (mailbox.hasUnread()) {
+      while (mailbox.hasUnread() && !isStopped) {
         try {
           processMessage();
         } catch (InterruptedException e) {
@@ -106,6 +232,11 @@ final class ActorImpl implements Actor {
                   String.format("Something went wrong during housekeeping %s. %s", address, e));
         }
       }
+      // Checked after housekeeping too, a handler may fail under STOP while draining
+      if (isStopped) {
+        logger.warning(String.format("Actor %s stopped by supervision", address));
+        onStopped.accept(this);
+      }
     }
   }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.rrpatil26.actorsystem.impl;
 
+import com.rrpatil26.actorsystem.common.ActorRegistration;
 import com.rrpatil26.actorsystem.common.Message;
 import java.util.function.Consumer;
 
@@ -7,4 +8,6 @@ public interface ActorFactory {
 
   Actor newActor(int mailboxSize, Consumer<Message> messageConsumer);
 
+  Actor newActor(ActorRegistration registration);
+
 }
@@ -1,11 +1,14 @@
 package com.rrpatil26.actorsystem.impl;
 
+import com.rrpatil26.actorsystem.common.ActorMetrics;
+import com.rrpatil26.actorsystem.common.ActorRegistration;
 import com.rrpatil26.actorsystem.common.ActorSystem;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.NoSuchActorException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOfflineException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOverloadedException;
 import com.rrpatil26.actorsystem.common.Message;
+import com.rrpatil26.actorsystem.common.TraceContext;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,14 +20,18 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactory<Message> {
+public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactory<Envelope> {
 
   private static final Logger logger = Logger.getLogger(ActorSystemImpl.class.getCanonicalName());
   private final ExecutorService service;
   private final Map<String, Actor> actors;
+  private final Map<String, TokenBucket> groupBuckets = new ConcurrentHashMap<>();
   private final int maxAllowedActors;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
@@ -37,6 +44,18 @@ public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactor
   @Override
   public String registerActor(int mailboxSize, Consumer<Message> messageConsumer)
       throws SystemOverloadedException {
+    ensureCanRegister();
+    return startActor(newActor(mailboxSize, messageConsumer));
+  }
+
+  @Override
+  public String registerActor(ActorRegistration registration)
+      throws SystemOverloadedException {
+    ensureCanRegister();
+    return startActor(newActor(registration));
+  }
+
+  private void ensureCanRegister() throws SystemOverloadedException {
     if (isShutdown()) {
       logger.info("System has been shutdown.");
       throw new SystemOfflineException("System has been shutdown.");
@@ -46,8 +65,9 @@ public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactor
       throw new SystemOverloadedException(
           "Can't take more actors. Already at max capacity: " + maxAllowedActors);
     }
-    Actor actor = newActor(mailboxSize,
-        messageConsumer);
+  }
+
+  private String startActor(Actor actor) {
     actors.put(actor.getAddress(), actor);
     service.execute(actor);
     return actor.getAddress();
@@ -67,7 +87,34 @@ public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactor
       throw new NoSuchActorException("Actor not found: " + address);
     }
     Actor actor = actors.get(address);
-    return actor.addNewMessage(message);
+    if (message.getTraceContext() == null) {
+      // Messages sent while handling a traced message continue its trace
+      TraceContext current = ActorImpl.currentTraceContext();
+      if (current != null) {
+        message = message.withTraceContext(current.nextHop());
+      }
+    }
+    MessageSentEvent event = new MessageSentEvent();
+    event.begin();
+    boolean accepted = false;
+    try {
+      accepted = actor.addNewMessage(message);
+      return accepted;
+    } finally {
+      if (event.shouldCommit()) {
+        event.set(address, accepted, message.getTraceContext());
+        event.commit();
+      }
+    }
+  }
+
+  @Override
+  public ActorMetrics getMetrics(String address) throws NoSuchActorException {
+    Actor actor = actors.get(address);
+    if (actor == null) {
+      throw new NoSuchActorException("Actor not found: " + address);
+    }
+    return actor.getMetrics();
   }
 
   @Override
@@ -106,10 +153,65 @@ public class ActorSystemImpl implements ActorSystem, ActorFactory, MailboxFactor
   }
 
   @Override
-  public Mailbox<Message> newMailbox(int mailboxSize) {
+  public Actor newActor(ActorRegistration registration) {
+    Mailbox<Envelope> mailbox;
+    switch (registration.getMailboxType()) {
+      case CONFLATING:
+        Function<Object, ?> conflationKey = registration.getConflationKey();
+        mailbox = newConflatingMailbox(registration.getMailboxSize(),
+            envelope -> conflationKey.apply(envelope.getMessage().getPayload()));
+        break;
+      case PRIORITY:
+        mailbox = newPriorityMailbox(registration.getMailboxSize(),
+            registration.getPriorityLevels(), envelope -> envelope.getMessage().isControl(),
+            envelope -> envelope.getMessage().getPriority());
+        break;
+      case ELASTIC:
+        mailbox = newElasticMailbox(registration.getMailboxSize());
+        break;
+      case FIFO:
+      default:
+        mailbox = newMailbox(registration.getMailboxSize());
+    }
+    return new ActorImpl(UUID.randomUUID().toString(), registration.getMessageHandler(), mailbox,
+        registration.getHandlerFactory(), registration.getSupervisionStrategy(),
+        newAdmissionControl(registration), actor -> actors.remove(actor.getAddress()));
+  }
+
+  private AdmissionControl newAdmissionControl(ActorRegistration registration) {
+    TokenBucket actorBucket =
+        registration.getRateLimit() == null ? null : new TokenBucket(registration.getRateLimit());
+    TokenBucket groupBucket = null;
+    if (registration.getGroup() != null) {
+      // First registration of a group sets its limit, others share the same bucket
+      groupBucket = groupBuckets.computeIfAbsent(registration.getGroup(),
+          group -> new TokenBucket(registration.getGroupRateLimit()));
+    }
+    return new AdmissionControl(actorBucket, registration.getGroup(), groupBucket);
+  }
+
+  @Override
+  public Mailbox<Envelope> newMailbox(int mailboxSize) {
     return new FifoMailbox<>(mailboxSize);
   }
 
+  @Override
+  public Mailbox<Envelope> newElasticMailbox(int mailboxSize) {
+    return new ElasticMailbox<>(mailboxSize);
+  }
+
+  @Override
+  public Mailbox<Envelope> newConflatingMailbox(int mailboxSize,
+      Function<Envelope, ?> keyExtractor) {
+    return new ConflatingMailbox<>(mailboxSize, keyExtractor);
+  }
+
+  @Override
+  public Mailbox<Envelope> newPriorityMailbox(int mailboxSize, int priorityLevels,
+      Predicate<Envelope> isControl, ToIntFunction<Envelope> priority) {
+    return new PriorityMailbox<>(mailboxSize, priorityLevels, isControl, priority);
+  }
+
   private Runnable awaitBusyActorsAndShutdownCleaner(CompletableFuture<Boolean> status) {
     return () -> {
       try {
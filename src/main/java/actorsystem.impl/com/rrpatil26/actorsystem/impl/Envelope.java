@@ -0,0 +1,36 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.Message;
+import jdk.jfr.EventType;
+
+/**
+ * Message as kept in a Mailbox, with the time it was queued while tracing events are recorded.
+ */
+final class Envelope {
+
+  private static final EventType DEQUEUED_EVENT_TYPE =
+      EventType.getEventType(MessageDequeuedEvent.class);
+  private static final EventType PROCESSED_EVENT_TYPE =
+      EventType.getEventType(MessageProcessedEvent.class);
+
+  private final Message message;
+  // 0 when no event that reports queue time was enabled at the time
+  private final long enqueuedAt;
+
+  Envelope(Message message) {
+    this.message = message;
+    this.enqueuedAt = DEQUEUED_EVENT_TYPE.isEnabled() || PROCESSED_EVENT_TYPE.isEnabled()
+        ? System.nanoTime() : 0;
+  }
+
+  Message getMessage() {
+    return message;
+  }
+
+  /**
+   * @return Nanos spent in the Mailbox so far, 0 if it was queued while events were disabled
+   */
+  long getQueueTime() {
+    return enqueuedAt == 0 ? 0 : System.nanoTime() - enqueuedAt;
+  }
+}
@@ -1,13 +1,41 @@
 package com.rrpatil26.actorsystem.impl;
 
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 interface Mailbox<T> {
 
   int getMaxCapacity();
 
+  /**
+   * @return Number of message slots the mailbox currently holds memory for
+   */
+  default int getAllocatedCapacity() {
+    return getMaxCapacity();
+  }
+
+  /**
+   * @return True if control messages get a separate lane of bounded capacity
+   */
+  default boolean hasControlLane() {
+    return false;
+  }
+
   boolean hasUnread();
 
   T getNextMessage() throws InterruptedException;
@@ -55,4 +83,314 @@ class FifoMailbox<T> implements Mailbox<T> {
     queue.put(message);
     return true;
   }
-}
\ No newline at end of file
+}
+
+/**
+ * Thread safe conflating Mailbox that keeps only the latest pending message per key. A newer
+ * message replaces the pending one with the same key in place, so keys are served in order of
+ * their first arrival and capacity bounds the number of distinct pending keys.
+ */
+class ConflatingMailbox<T> implements Mailbox<T> {
+
+  private final Map<Object, T> pending = new LinkedHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Function<T, ?> keyExtractor;
+  private final int maxCapacity;
+
+  ConflatingMailbox(int size, Function<T, ?> keyExtractor) {
+    this.maxCapacity = size;
+    this.keyExtractor = keyExtractor;
+  }
+
+  @Override
+  public int getMaxCapacity() {
+    return this.maxCapacity;
+  }
+
+  @Override
+  public int getAllocatedCapacity() {
+    lock.lock();
+    try {
+      // Entries are allocated per pending key
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean hasUnread() {
+    lock.lock();
+    try {
+      return !pending.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public T getNextMessage() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (pending.isEmpty()) {
+        notEmpty.await();
+      }
+      Iterator<T> oldest = pending.values().iterator();
+      T message = oldest.next();
+      oldest.remove();
+      return message;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean addToMailbox(T message) throws ActorMailboxFullException, InterruptedException {
+    Object key = keyExtractor.apply(message);
+    lock.lockInterruptibly();
+    try {
+      if (pending.containsKey(key)) {
+        // Replacing value of an existing key keeps its position in the map
+        pending.put(key, message);
+        return true;
+      }
+      if (pending.size() == maxCapacity) {
+        throw new ActorMailboxFullException("Mailbox is full. Can't take anymore messages");
+      }
+      pending.put(key, message);
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
+
+/**
+ * Thread safe priority Mailbox with a small control lane and a number of priority levels, each a
+ * lock free queue. Control messages have their own fixed capacity, so they are admitted even when
+ * the levels are full, and are served before anything else. Others are served from the highest
+ * non empty level, FIFO within a level, and capacity bounds them across all levels. Expects a
+ * single consumer, the Actor runner thread.
+ */
+class PriorityMailbox<T> implements Mailbox<T> {
+
+  static final int CONTROL_LANE_CAPACITY = 16;
+
+  private final Queue<T> controlLane = new ConcurrentLinkedQueue<>();
+  private final List<Queue<T>> levels;
+  private final Predicate<T> isControl;
+  private final ToIntFunction<T> priority;
+  private final int maxCapacity;
+  private final AtomicInteger controlSize = new AtomicInteger();
+  // Non control messages across all levels
+  private final AtomicInteger size = new AtomicInteger();
+  // One permit per message in any lane, released after the message is queued
+  private final Semaphore available = new Semaphore(0);
+
+  PriorityMailbox(int size, int priorityLevels, Predicate<T> isControl,
+      ToIntFunction<T> priority) {
+    this.maxCapacity = size;
+    this.isControl = isControl;
+    this.priority = priority;
+    this.levels = new ArrayList<>(priorityLevels);
+    for (int i = 0; i < priorityLevels; i++) {
+      levels.add(new ConcurrentLinkedQueue<>());
+    }
+  }
+
+  @Override
+  public int getMaxCapacity() {
+    return this.maxCapacity;
+  }
+
+  @Override
+  public int getAllocatedCapacity() {
+    // Queue nodes are allocated per pending message
+    return size.get() + controlSize.get();
+  }
+
+  @Override
+  public boolean hasControlLane() {
+    return true;
+  }
+
+  @Override
+  public boolean hasUnread() {
+    return available.availablePermits() > 0;
+  }
+
+  @Override
+  public T getNextMessage() throws InterruptedException {
+    available.acquire();
+    T message = controlLane.poll();
+    if (message != null) {
+      controlSize.decrementAndGet();
+      return message;
+    }
+    for (int i = levels.size() - 1; i >= 0; i--) {
+      message = levels.get(i).poll();
+      if (message != null) {
+        size.decrementAndGet();
+        return message;
+      }
+    }
+    // Unreachable with a single consumer, a permit is only released after its message is queued
+    available.release();
+    return null;
+  }
+
+  @Override
+  public boolean addToMailbox(T message) throws ActorMailboxFullException, InterruptedException {
+    if (isControl.test(message)) {
+      if (controlSize.incrementAndGet() > CONTROL_LANE_CAPACITY) {
+        controlSize.decrementAndGet();
+        throw new ActorMailboxFullException("Control lane is full. Can't take anymore messages");
+      }
+      controlLane.offer(message);
+    } else {
+      if (size.incrementAndGet() > maxCapacity) {
+        size.decrementAndGet();
+        throw new ActorMailboxFullException("Mailbox is full. Can't take anymore messages");
+      }
+      int level = Math.max(0, Math.min(priority.applyAsInt(message), levels.size() - 1));
+      levels.get(level).offer(message);
+    }
+    available.release();
+    return true;
+  }
+}
+
+/**
+ * Thread safe bounded FIFO Mailbox that allocates memory on demand. Messages are kept in a linked
+ * list of small array segments, so an empty Mailbox holds a single segment whatever its capacity.
+ * It grows one segment at a time up to capacity. A few consumed segments are kept as spares for
+ * reuse while messages keep coming, and all of them are given back once the Mailbox drains.
+ */
+class ElasticMailbox<T> implements Mailbox<T> {
+
+  static final int SEGMENT_SIZE = 32;
+  static final int MAX_SPARE_SEGMENTS = 2;
+
+  private static final class Segment {
+
+    final Object[] items;
+    Segment next;
+
+    Segment(int size) {
+      items = new Object[size];
+    }
+  }
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final int maxCapacity;
+  private final int segmentSize;
+  private Segment head;
+  private int headIndex;
+  private Segment tail;
+  private int tailIndex;
+  private int count;
+  // Stack of consumed segments kept for reuse, linked through next
+  private Segment spares;
+  private int spareSegments;
+  private int allocatedSegments = 1;
+
+  ElasticMailbox(int size) {
+    this.maxCapacity = size;
+    this.segmentSize = Math.max(1, Math.min(size, SEGMENT_SIZE));
+    this.head = this.tail = new Segment(segmentSize);
+  }
+
+  @Override
+  public int getMaxCapacity() {
+    return this.maxCapacity;
+  }
+
+  @Override
+  public int getAllocatedCapacity() {
+    lock.lock();
+    try {
+      return allocatedSegments * segmentSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean hasUnread() {
+    lock.lock();
+    try {
+      return count > 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T getNextMessage() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        notEmpty.await();
+      }
+      T message = (T) head.items[headIndex];
+      head.items[headIndex++] = null;
+      count--;
+      if (count == 0) {
+        // Head and tail are in the same segment now, start over from its beginning and give
+        // spares back, so a drained Mailbox holds only one segment even if it stays idle
+        headIndex = tailIndex = 0;
+        spares = null;
+        allocatedSegments -= spareSegments;
+        spareSegments = 0;
+      } else if (headIndex == segmentSize) {
+        Segment consumed = head;
+        head = head.next;
+        headIndex = 0;
+        if (spareSegments < MAX_SPARE_SEGMENTS) {
+          consumed.next = spares;
+          spares = consumed;
+          spareSegments++;
+        } else {
+          allocatedSegments--;
+        }
+      }
+      return message;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean addToMailbox(T message) throws ActorMailboxFullException, InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      if (count == maxCapacity) {
+        throw new ActorMailboxFullException("Mailbox is full. Can't take anymore messages");
+      }
+      if (tailIndex == segmentSize) {
+        Segment segment = spares;
+        if (segment != null) {
+          spares = segment.next;
+          segment.next = null;
+          spareSegments--;
+        } else {
+          segment = new Segment(segmentSize);
+          allocatedSegments++;
+        }
+        tail.next = segment;
+        tail = segment;
+        tailIndex = 0;
+      }
+      tail.items[tailIndex++] = message;
+      count++;
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -1,7 +1,18 @@
 package com.rrpatil26.actorsystem.impl;
 
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
 public interface MailboxFactory<T> {
 
   Mailbox<T> newMailbox(int mailboxSize);
 
+  Mailbox<T> newElasticMailbox(int mailboxSize);
+
+  Mailbox<T> newConflatingMailbox(int mailboxSize, Function<T, ?> keyExtractor);
+
+  Mailbox<T> newPriorityMailbox(int mailboxSize, int priorityLevels, Predicate<T> isControl,
+      ToIntFunction<T> priority);
+
 }
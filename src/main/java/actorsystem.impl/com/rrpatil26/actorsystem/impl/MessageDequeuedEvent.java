@@ -0,0 +1,44 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.TraceContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("actorsystem.MessageDequeued")
+@Label("Message Dequeued")
+@Category("Actor System")
+@Description("Message taken out of an Actor Mailbox by its runner thread")
+@StackTrace(false)
+final class MessageDequeuedEvent extends Event {
+
+  @Label("Actor")
+  String actor;
+
+  @Label("Queue Time")
+  @Timespan
+  long queueTime;
+
+  @Label("Trace Id")
+  long traceId;
+
+  @Label("Hop")
+  int hop;
+
+  static void commit(String actor, long queueTime, TraceContext traceContext) {
+    MessageDequeuedEvent event = new MessageDequeuedEvent();
+    if (event.shouldCommit()) {
+      event.actor = actor;
+      event.queueTime = queueTime;
+      if (traceContext != null) {
+        event.traceId = traceContext.getTraceId();
+        event.hop = traceContext.getHop();
+      }
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.TraceContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("actorsystem.MessageProcessed")
+@Label("Message Processed")
+@Category("Actor System")
+@Description("Message handler run, event duration is the handler duration")
+@StackTrace(false)
+final class MessageProcessedEvent extends Event {
+
+  @Label("Actor")
+  String actor;
+
+  @Label("Queue Time")
+  @Timespan
+  long queueTime;
+
+  @Label("Failed")
+  boolean failed;
+
+  @Label("Trace Id")
+  long traceId;
+
+  @Label("Hop")
+  int hop;
+
+  void set(String actor, long queueTime, boolean failed, TraceContext traceContext) {
+    this.actor = actor;
+    this.queueTime = queueTime;
+    this.failed = failed;
+    if (traceContext != null) {
+      this.traceId = traceContext.getTraceId();
+      this.hop = traceContext.getHop();
+    }
+  }
+}
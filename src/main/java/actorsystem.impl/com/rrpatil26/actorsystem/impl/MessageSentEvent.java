@@ -0,0 +1,38 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.TraceContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("actorsystem.MessageSent")
+@Label("Message Sent")
+@Category("Actor System")
+@Description("Delivery of a message to an Actor Mailbox, including admission control")
+@StackTrace(false)
+final class MessageSentEvent extends Event {
+
+  @Label("Actor")
+  String actor;
+
+  @Label("Accepted")
+  boolean accepted;
+
+  @Label("Trace Id")
+  long traceId;
+
+  @Label("Hop")
+  int hop;
+
+  void set(String actor, boolean accepted, TraceContext traceContext) {
+    this.actor = actor;
+    this.accepted = accepted;
+    if (traceContext != null) {
+      this.traceId = traceContext.getTraceId();
+      this.hop = traceContext.getHop();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.SupervisionStrategy;
+import com.rrpatil26.actorsystem.common.SupervisionStrategy.Directive;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Applies a {@link SupervisionStrategy} to handler failures of a single Actor. Only used from the
+ * Actor's runner thread, so it keeps no synchronization.
+ */
+final class Supervisor {
+
+  private final SupervisionStrategy strategy;
+  // Times of restarts that happened within the strategy window, oldest first
+  private final Deque<Long> restarts = new ArrayDeque<>();
+
+  Supervisor(SupervisionStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  /**
+   * @param now Current time in nanos
+   * @return Directive to apply. RESTART is turned into STOP once restart limit is exceeded.
+   */
+  Directive onFailure(long now) {
+    if (strategy.getDirective() != Directive.RESTART) {
+      return strategy.getDirective();
+    }
+    long windowStart = now - strategy.getWithin().toNanos();
+    while (!restarts.isEmpty() && restarts.peekFirst() - windowStart < 0) {
+      restarts.pollFirst();
+    }
+    if (restarts.size() >= strategy.getMaxRestarts()) {
+      return Directive.STOP;
+    }
+    restarts.addLast(now);
+    return Directive.RESTART;
+  }
+
+  /**
+   * @return Nanos to wait before the latest restart: minimum backoff doubled for every earlier
+   * restart within the window, capped at maximum backoff
+   */
+  long backoffNanos() {
+    long minBackoff = strategy.getMinBackoff().toNanos();
+    long maxBackoff = strategy.getMaxBackoff().toNanos();
+    if (minBackoff == 0 || restarts.isEmpty()) {
+      return minBackoff;
+    }
+    int doublings = Math.min(restarts.size() - 1, Long.numberOfLeadingZeros(minBackoff) - 1);
+    return Math.min(minBackoff << doublings, maxBackoff);
+  }
+}
@@ -0,0 +1,102 @@
+package com.rrpatil26.actorsystem.impl;
+
+import com.rrpatil26.actorsystem.common.RateLimit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket. Instead of counting tokens it tracks the time at which the bucket will
+ * be full again, so that taking a token is a single compare and set on one long.
+ */
+final class TokenBucket {
+
+  private final long nanosPerPermit;
+  private final long burstNanos;
+  // Time in nanos at which all tokens taken so far will have been refilled
+  private final AtomicLong refilledAt;
+
+  TokenBucket(RateLimit rateLimit) {
+    this.nanosPerPermit = 1_000_000_000L / rateLimit.getPermitsPerSecond();
+    this.burstNanos = rateLimit.getBurst() > Long.MAX_VALUE / nanosPerPermit ? Long.MAX_VALUE
+        : rateLimit.getBurst() * nanosPerPermit;
+    this.refilledAt = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * @param now Current time in nanos
+   * @return True if a token was taken, false if the bucket is empty
+   */
+  boolean tryAcquire(long now) {
+    while (true) {
+      long current = refilledAt.get();
+      long next = (current - now < 0 ? now : current) + nanosPerPermit;
+      if (next - now > burstNanos) {
+        return false;
+      }
+      if (refilledAt.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Gives back a token taken by {@link #tryAcquire(long)} for a message that was not delivered.
+   */
+  void release() {
+    refilledAt.addAndGet(-nanosPerPermit);
+  }
+}
+
+/**
+ * Admission of new messages for an Actor, limited by its own and by its groups token bucket.
+ */
+final class AdmissionControl {
+
+  static final AdmissionControl UNLIMITED = new AdmissionControl(null, null, null);
+
+  private final TokenBucket actorBucket;
+  private final String group;
+  private final TokenBucket groupBucket;
+
+  AdmissionControl(TokenBucket actorBucket, String group, TokenBucket groupBucket) {
+    this.actorBucket = actorBucket;
+    this.group = group;
+    this.groupBucket = groupBucket;
+  }
+
+  String getGroup() {
+    return group;
+  }
+
+  /**
+   * @return True if both buckets had a token. Takes a token from either only if both had one.
+   */
+  boolean tryAdmit() {
+    if (actorBucket == null && groupBucket == null) {
+      return true;
+    }
+    long now = System.nanoTime();
+    if (actorBucket != null && !actorBucket.tryAcquire(now)) {
+      return false;
+    }
+    if (groupBucket != null && !groupBucket.tryAcquire(now)) {
+      // Group is over its limit, the Actor did not get to use its own token
+      if (actorBucket != null) {
+        actorBucket.release();
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Gives back tokens taken by {@link #tryAdmit()} for a message the Mailbox did not accept.
+   */
+  void release() {
+    if (actorBucket != null) {
+      actorBucket.release();
+    }
+    if (groupBucket != null) {
+      groupBucket.release();
+    }
+  }
+}
@@ -2,4 +2,5 @@ module actorsystem.impl {
   exports com.rrpatil26.actorsystem.impl to actorsystem.client;
   requires actorsystem.common;
   requires java.logging;
+  requires jdk.jfr;
 }
\ No newline at end of file
@@ -1,17 +1,37 @@
 package com.rrpatil26.actorsystem.test;
 
 import com.rrpatil26.actorsystem.client.ActorSystemFactory;
+import com.rrpatil26.actorsystem.common.ActorMetrics;
+import com.rrpatil26.actorsystem.common.ActorRegistrationBuilder;
 import com.rrpatil26.actorsystem.common.ActorSystem;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
+import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorRateLimitedException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.NoSuchActorException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOfflineException;
 import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOverloadedException;
 import com.rrpatil26.actorsystem.common.Message;
+import com.rrpatil26.actorsystem.common.RateLimit;
+import com.rrpatil26.actorsystem.common.SupervisionStrategy;
+import com.rrpatil26.actorsystem.common.TraceContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -92,4 +112,538 @@ public class ActorSystemUnitTest {
     actorSystem.sendMessage(actorAddress, new Message("Two"));
     actorSystem.sendMessage(actorAddress, new Message("Three"));
   }
+
+  @Test
+  public void testConflatingMailbox_keepsLatestMessagePerKeyInFirstArrivalOrder()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(2)
+        .withConflatingMailbox(payload -> ((String) payload).split("=")[0])
+        .withMessageHandler(message -> {
+          if ("block".equals(message.getPayload())) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return;
+          }
+          received.add(message.getPayload());
+        }).register();
+
+    // Keep the handler busy so that the following messages stay pending
+    actorSystem.sendMessage(actorAddress, new Message("block"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    actorSystem.sendMessage(actorAddress, new Message("A=1"));
+    actorSystem.sendMessage(actorAddress, new Message("B=1"));
+    actorSystem.sendMessage(actorAddress, new Message("A=2"));
+    actorSystem.sendMessage(actorAddress, new Message("B=2"));
+    actorSystem.sendMessage(actorAddress, new Message("A=3"));
+    release.countDown();
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(List.of("A=3", "B=2"), received);
+  }
+
+  @Test(expected = ActorMailboxFullException.class)
+  public void testConflatingMailbox_fullWhenDistinctKeysExceedCapacity()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(1)
+        .withConflatingMailbox(payload -> payload)
+        .withMessageHandler(message -> {
+          started.countDown();
+          try {
+            Thread.sleep(1000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("busy"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    actorSystem.sendMessage(actorAddress, new Message("Two"));
+  }
+
+  @Test
+  public void testSupervision_resumeKeepsProcessingAfterFailure()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(5)
+        .withSupervisionStrategy(SupervisionStrategy.resume())
+        .withMessageHandler(message -> {
+          if ("fail".equals(message.getPayload())) {
+            throw new IllegalStateException("Bad message");
+          }
+          received.add(message.getPayload());
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("fail"));
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(List.of("One"), received);
+  }
+
+  @Test
+  public void testSupervision_restartReplacesHandlerAndKeepsMailbox()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    AtomicInteger handlersCreated = new AtomicInteger();
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(5)
+        .withSupervisionStrategy(SupervisionStrategy.restart(3, Duration.ofMinutes(1)))
+        .withMessageHandlerFactory(() -> {
+          int generation = handlersCreated.incrementAndGet();
+          return message -> {
+            if ("fail".equals(message.getPayload())) {
+              throw new IllegalStateException("Bad message");
+            }
+            received.add(generation + ":" + message.getPayload());
+          };
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    actorSystem.sendMessage(actorAddress, new Message("fail"));
+    actorSystem.sendMessage(actorAddress, new Message("Two"));
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(List.of("1:One", "2:Two"), received);
+  }
+
+  @Test
+  public void testSupervision_stopsWhenRestartLimitExceeded()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    CountDownLatch failures = new CountDownLatch(2);
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(5)
+        .withSupervisionStrategy(SupervisionStrategy.restart(1, Duration.ofMinutes(1)))
+        .withMessageHandlerFactory(() -> message -> {
+          failures.countDown();
+          throw new IllegalStateException("Bad message");
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    actorSystem.sendMessage(actorAddress, new Message("Two"));
+    Assert.assertTrue(failures.await(5, TimeUnit.SECONDS));
+
+    // Stopped actor is removed from the system
+    long deadline = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        actorSystem.sendMessage(actorAddress, new Message("Three"));
+        Thread.sleep(10);
+      } catch (NoSuchActorException e) {
+        return;
+      }
+    }
+    Assert.fail("Actor should have been stopped");
+  }
+
+  @Test
+  public void testSupervision_stopsWhenHandlerFactoryFailsOnRestart()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    AtomicInteger handlersCreated = new AtomicInteger();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(5)
+        .withSupervisionStrategy(SupervisionStrategy.restart(3, Duration.ofMinutes(1)))
+        .withMessageHandlerFactory(() -> {
+          if (handlersCreated.incrementAndGet() > 1) {
+            throw new IllegalStateException("Can't create handler");
+          }
+          return message -> {
+            throw new IllegalStateException("Bad message");
+          };
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+
+    // Actor that can't get a fresh handler is stopped and removed from the system
+    long deadline = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        actorSystem.sendMessage(actorAddress, new Message("Two"));
+        Thread.sleep(10);
+      } catch (NoSuchActorException e) {
+        Assert.assertEquals(2, handlersCreated.get());
+        return;
+      }
+    }
+    Assert.fail("Actor should have been stopped");
+  }
+
+  @Test
+  public void testHandlerFactory_reusedBuilderCreatesHandlerPerActor()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    List<Object> handlers = new CopyOnWriteArrayList<>();
+    ActorRegistrationBuilder builder = actorSystem.newActorRegistrationBuilder().withMailboxSize(1)
+        .withMessageHandlerFactory(() -> new Consumer<Message>() {
+          @Override
+          public void accept(Message message) {
+            handlers.add(this);
+          }
+        });
+    String firstAddress = builder.register();
+    String secondAddress = builder.register();
+
+    actorSystem.sendMessage(firstAddress, new Message("One"));
+    actorSystem.sendMessage(secondAddress, new Message("Two"));
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(2, handlers.size());
+    Assert.assertNotSame(handlers.get(0), handlers.get(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSupervision_restartNeedsHandlerFactory() throws SystemOverloadedException {
+    actorSystem.newActorRegistrationBuilder().withMailboxSize(1)
+        .withSupervisionStrategy(SupervisionStrategy.restart(1, Duration.ofMinutes(1)))
+        .withMessageHandler(message -> {
+        }).register();
+  }
+
+  @Test
+  public void testRateLimit_rejectsMessagesOverBurst()
+      throws SystemOverloadedException, ActorMailboxFullException {
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withRateLimit(RateLimit.perSecond(1, 2))
+        .withMessageHandler(message -> {
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    actorSystem.sendMessage(actorAddress, new Message("Two"));
+    try {
+      actorSystem.sendMessage(actorAddress, new Message("Three"));
+      Assert.fail("Third message should be over the rate limit");
+    } catch (ActorRateLimitedException e) {
+      // Expected
+    }
+    ActorMetrics metrics = actorSystem.getMetrics(actorAddress);
+    Assert.assertEquals(2, metrics.getMessagesAccepted());
+    Assert.assertEquals(1, metrics.getMessagesRateLimited());
+  }
+
+  @Test(expected = ActorRateLimitedException.class)
+  public void testGroupRateLimit_isSharedByGroupMembers()
+      throws SystemOverloadedException, ActorMailboxFullException {
+    String firstAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withGroupRateLimit("tenant", RateLimit.perSecond(1, 1))
+        .withMessageHandler(message -> {
+        }).register();
+    String secondAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withGroupRateLimit("tenant", RateLimit.perSecond(1, 1))
+        .withMessageHandler(message -> {
+        }).register();
+
+    Assert.assertEquals("tenant", actorSystem.getMetrics(secondAddress).getGroup());
+    actorSystem.sendMessage(firstAddress, new Message("One"));
+    actorSystem.sendMessage(secondAddress, new Message("Two"));
+  }
+
+  @Test
+  public void testGroupRateLimit_rejectionKeepsActorOwnTokens()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    // Own limit refills once a second, the group limit every 50ms
+    String limitedAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withRateLimit(RateLimit.perSecond(1, 1))
+        .withGroupRateLimit("tenant", RateLimit.perSecond(20, 1))
+        .withMessageHandler(message -> {
+        }).register();
+    String otherAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withGroupRateLimit("tenant", RateLimit.perSecond(20, 1))
+        .withMessageHandler(message -> {
+        }).register();
+
+    actorSystem.sendMessage(otherAddress, new Message("One"));
+    try {
+      actorSystem.sendMessage(limitedAddress, new Message("Two"));
+      Assert.fail("Group should be over its rate limit");
+    } catch (ActorRateLimitedException e) {
+      // Expected
+    }
+    Thread.sleep(200);
+    // Group has refilled and the Actor still has its own token
+    Assert.assertTrue(actorSystem.sendMessage(limitedAddress, new Message("Three")));
+  }
+
+  @Test
+  public void testRateLimit_fullMailboxDoesNotUseTokens()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(1)
+        .withRateLimit(RateLimit.perSecond(1, 3))
+        .withMessageHandler(message -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    actorSystem.sendMessage(actorAddress, new Message("Two"));
+    try {
+      actorSystem.sendMessage(actorAddress, new Message("Full"));
+      Assert.fail("Mailbox should be full");
+    } catch (ActorRateLimitedException e) {
+      Assert.fail("Mailbox should be full, not rate limited");
+    } catch (ActorMailboxFullException e) {
+      // Expected
+    }
+    release.countDown();
+    long deadline = System.currentTimeMillis() + 500;
+    while (actorSystem.getMetrics(actorAddress).getMessagesProcessed() < 2
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    // Third token was given back when the mailbox was full
+    Assert.assertTrue(actorSystem.sendMessage(actorAddress, new Message("Three")));
+    Assert.assertEquals(0, actorSystem.getMetrics(actorAddress).getMessagesRateLimited());
+  }
+
+  @Test
+  public void testPriorityMailbox_servesControlThenHigherPriorityFirst()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(2)
+        .withPriorityMailbox(2)
+        .withMessageHandler(message -> {
+          if ("block".equals(message.getPayload())) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return;
+          }
+          received.add(message.getPayload());
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("block"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    actorSystem.sendMessage(actorAddress, new Message("Low"));
+    actorSystem.sendMessage(actorAddress, new Message("High", 1));
+    try {
+      actorSystem.sendMessage(actorAddress, new Message("Rejected"));
+      Assert.fail("Bulk lane should be full");
+    } catch (ActorMailboxFullException e) {
+      // Expected
+    }
+    // Control lane is admitted even though the bulk lane is full
+    actorSystem.sendMessage(actorAddress, Message.control("Control"));
+    release.countDown();
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(List.of("Control", "High", "Low"), received);
+  }
+
+  @Test
+  public void testPriorityMailbox_controlLaneIsBounded()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    // Matches the fixed capacity of the priority mailbox control lane
+    int controlLaneCapacity = 16;
+    CountDownLatch started = new CountDownLatch(1);
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(1)
+        .withPriorityMailbox(1)
+        .withMessageHandler(message -> {
+          started.countDown();
+          try {
+            Thread.sleep(1000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("busy"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < controlLaneCapacity; i++) {
+      actorSystem.sendMessage(actorAddress, Message.control(i));
+    }
+    try {
+      actorSystem.sendMessage(actorAddress, Message.control(controlLaneCapacity));
+      Assert.fail("Control lane should be full");
+    } catch (ActorMailboxFullException e) {
+      // Expected
+    }
+  }
+
+  @Test(expected = ActorRateLimitedException.class)
+  public void testRateLimit_appliesToControlMessagesWithoutControlLane()
+      throws SystemOverloadedException, ActorMailboxFullException {
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withRateLimit(RateLimit.perSecond(1, 1))
+        .withMessageHandler(message -> {
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, Message.control("One"));
+    actorSystem.sendMessage(actorAddress, Message.control("Two"));
+  }
+
+  @Test
+  public void testRateLimit_admitsControlLaneWhenLimitUsedUp()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(10)
+        .withPriorityMailbox(1)
+        .withRateLimit(RateLimit.perSecond(1, 1))
+        .withGroupRateLimit("tenant", RateLimit.perSecond(1, 1))
+        .withMessageHandler(message -> received.add(message.getPayload())).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("One"));
+    try {
+      actorSystem.sendMessage(actorAddress, new Message("Two"));
+      Assert.fail("Second message should be over the rate limit");
+    } catch (ActorRateLimitedException e) {
+      // Expected
+    }
+    actorSystem.sendMessage(actorAddress, Message.control("Health"));
+    actorSystem.sendMessage(actorAddress, Message.control("Shutdown"));
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    // Control messages may overtake a pending One
+    Assert.assertEquals(Set.of("One", "Health", "Shutdown"), Set.copyOf(received));
+  }
+
+  @Test
+  public void testElasticMailbox_keepsFifoOrderAcrossSegmentsUpToCapacity()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    int mailboxSize = 100;
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Object> received = new CopyOnWriteArrayList<>();
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(mailboxSize)
+        .withElasticMailbox()
+        .withMessageHandler(message -> {
+          if ("block".equals(message.getPayload())) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return;
+          }
+          received.add(message.getPayload());
+        }).register();
+
+    actorSystem.sendMessage(actorAddress, new Message("block"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    List<Object> sent = new ArrayList<>();
+    for (int i = 0; i < mailboxSize; i++) {
+      actorSystem.sendMessage(actorAddress, new Message(i));
+      sent.add(i);
+    }
+    try {
+      actorSystem.sendMessage(actorAddress, new Message(mailboxSize));
+      Assert.fail("Mailbox should be full");
+    } catch (ActorMailboxFullException e) {
+      // Expected
+    }
+    release.countDown();
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(sent, received);
+  }
+
+  @Test
+  public void testElasticMailbox_givesMemoryBackAfterBurst()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException {
+    // Matches the segment size of the elastic mailbox
+    int segmentSize = 32;
+    int mailboxSize = 1000;
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    String actorAddress = actorSystem.newActorRegistrationBuilder().withMailboxSize(mailboxSize)
+        .withElasticMailbox()
+        .withMessageHandler(message -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }).register();
+    Assert.assertEquals(segmentSize,
+        actorSystem.getMetrics(actorAddress).getMailboxAllocatedCapacity());
+
+    actorSystem.sendMessage(actorAddress, new Message("block"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < mailboxSize; i++) {
+      actorSystem.sendMessage(actorAddress, new Message(i));
+    }
+    Assert.assertTrue(
+        actorSystem.getMetrics(actorAddress).getMailboxAllocatedCapacity() >= mailboxSize);
+    release.countDown();
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (actorSystem.getMetrics(actorAddress).getMessagesProcessed() < mailboxSize + 1
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    // Drained and idle, only a single segment is left
+    Assert.assertEquals(segmentSize,
+        actorSystem.getMetrics(actorAddress).getMailboxAllocatedCapacity());
+  }
+
+  @Test
+  public void testTraceContext_propagatesAcrossActorHops()
+      throws SystemOverloadedException, ActorMailboxFullException, InterruptedException, ExecutionException {
+    List<TraceContext> received = new CopyOnWriteArrayList<>();
+    String lastAddress = actorSystem.registerActor(1,
+        message -> received.add(message.getTraceContext()));
+    String firstAddress = actorSystem.registerActor(1, message -> {
+      try {
+        // Sent without a trace context, it continues the trace of the message being handled
+        actorSystem.sendMessage(lastAddress, new Message("Forwarded"));
+      } catch (ActorMailboxFullException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    TraceContext trace = TraceContext.newTrace();
+    actorSystem.sendMessage(firstAddress, new Message("Hello").withTraceContext(trace));
+
+    Assert.assertTrue(actorSystem.shutdown().get());
+    Assert.assertEquals(1, received.size());
+    Assert.assertEquals(trace.getTraceId(), received.get(0).getTraceId());
+    Assert.assertEquals(1, received.get(0).getHop());
+  }
+
+  @Test
+  public void testFlightRecorderEvents_carryActorAndTimings() throws Exception {
+    Path dump = Files.createTempFile("actorsystem", ".jfr");
+    String actorAddress;
+    try (Recording recording = new Recording()) {
+      recording.enable("actorsystem.MessageSent");
+      recording.enable("actorsystem.MessageDequeued");
+      recording.enable("actorsystem.MessageProcessed");
+      recording.start();
+      actorAddress = actorSystem.registerActor(1, message -> {
+      });
+      actorSystem.sendMessage(actorAddress, new Message("Hello"));
+      Assert.assertTrue(actorSystem.shutdown().get());
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+        .filter(event -> actorAddress.equals(event.getString("actor")))
+        .collect(Collectors.toList());
+    Files.delete(dump);
+    Assert.assertEquals(List.of("actorsystem.MessageDequeued", "actorsystem.MessageProcessed",
+        "actorsystem.MessageSent"), events.stream()
+        .map(event -> event.getEventType().getName()).sorted().collect(Collectors.toList()));
+    for (RecordedEvent event : events) {
+      if (event.hasField("queueTime")) {
+        Assert.assertTrue(event.getDuration("queueTime").toNanos() > 0);
+      }
+    }
+  }
 }
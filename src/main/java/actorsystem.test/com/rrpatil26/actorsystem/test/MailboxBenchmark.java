@@ -0,0 +1,113 @@
+package com.rrpatil26.actorsystem.test;
+
+import com.rrpatil26.actorsystem.client.ActorSystemFactory;
+import com.rrpatil26.actorsystem.common.ActorRegistrationBuilder;
+import com.rrpatil26.actorsystem.common.ActorSystem;
+import com.rrpatil26.actorsystem.common.ActorSystemExceptions.ActorMailboxFullException;
+import com.rrpatil26.actorsystem.common.ActorSystemExceptions.SystemOverloadedException;
+import com.rrpatil26.actorsystem.common.Message;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compares FIFO and elastic mailboxes: heap held by idle actors with a large mailbox size, both
+ * never used and after a burst of messages, and rate of messages sent to a single busy actor. Run
+ * manually, numbers depend on the machine.
+ */
+public class MailboxBenchmark {
+
+  private static final int ACTORS = 1000;
+  private static final int MAILBOX_SIZE = 10000;
+  private static final int MESSAGES = 2_000_000;
+  private static final int BURST = 1000;
+
+  public static void main(String[] args)
+      throws SystemOverloadedException, ExecutionException, InterruptedException {
+    // Warm up both before measuring
+    enqueueRate(builder -> builder);
+    enqueueRate(ActorRegistrationBuilder::withElasticMailbox);
+
+    System.out.printf(
+        "FIFO    idle footprint: %,d bytes/actor, after burst: %,d bytes/actor, enqueue: %,d msgs/sec%n",
+        idleFootprint(builder -> builder, 0), idleFootprint(builder -> builder, BURST),
+        enqueueRate(builder -> builder));
+    System.out.printf(
+        "ELASTIC idle footprint: %,d bytes/actor, after burst: %,d bytes/actor, enqueue: %,d msgs/sec%n",
+        idleFootprint(ActorRegistrationBuilder::withElasticMailbox, 0),
+        idleFootprint(ActorRegistrationBuilder::withElasticMailbox, BURST),
+        enqueueRate(ActorRegistrationBuilder::withElasticMailbox));
+  }
+
+  /**
+   * @param burst Messages sent to every actor and processed before measuring, 0 for never used
+   */
+  private static long idleFootprint(UnaryOperator<ActorRegistrationBuilder> mailbox, int burst)
+      throws SystemOverloadedException, ExecutionException, InterruptedException {
+    int threads = Thread.activeCount();
+    ActorSystem actorSystem = ActorSystemFactory.newInstance(ACTORS);
+    List<String> addresses = new ArrayList<>();
+    long before = usedHeap();
+    for (int i = 0; i < ACTORS; i++) {
+      addresses.add(
+          mailbox.apply(actorSystem.newActorRegistrationBuilder().withMailboxSize(MAILBOX_SIZE))
+              .withMessageHandler(message -> {
+              }).register());
+    }
+    Message message = new Message("Hello");
+    for (String address : addresses) {
+      for (int i = 0; i < burst; ) {
+        try {
+          actorSystem.sendMessage(address, message);
+          i++;
+        } catch (ActorMailboxFullException e) {
+          Thread.onSpinWait();
+        }
+      }
+    }
+    for (String address : addresses) {
+      while (actorSystem.getMetrics(address).getMessagesProcessed() < burst) {
+        Thread.sleep(1);
+      }
+    }
+    long after = usedHeap();
+    actorSystem.shutdown().get();
+    // Runner threads keep their actor reachable until they exit, wait so the next run starts clean
+    while (Thread.activeCount() > threads) {
+      Thread.sleep(100);
+    }
+    return (after - before) / ACTORS;
+  }
+
+  private static long enqueueRate(UnaryOperator<ActorRegistrationBuilder> mailbox)
+      throws SystemOverloadedException, ExecutionException, InterruptedException {
+    ActorSystem actorSystem = ActorSystemFactory.newInstance(1);
+    String address = mailbox
+        .apply(actorSystem.newActorRegistrationBuilder().withMailboxSize(MAILBOX_SIZE))
+        .withMessageHandler(message -> {
+        }).register();
+    Message message = new Message("Hello");
+    long start = System.nanoTime();
+    for (int i = 0; i < MESSAGES; ) {
+      try {
+        actorSystem.sendMessage(address, message);
+        i++;
+      } catch (ActorMailboxFullException e) {
+        Thread.onSpinWait();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    actorSystem.shutdown().get();
+    return MESSAGES * 1_000_000_000L / elapsed;
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -4,4 +4,5 @@ module actorsystem.test {
   requires actorsystem.common;
   requires actorsystem.impl;
   requires junit;
+  requires jdk.jfr;
 }
\ No newline at end of file